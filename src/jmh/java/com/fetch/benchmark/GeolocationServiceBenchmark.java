@@ -0,0 +1,72 @@
+package com.fetch.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fetch.service.GeolocationService;
+import okhttp3.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-lookup cost of {@link GeolocationService} without touching the network.
+ * <p>
+ * An application interceptor answers every call with a canned API response, so the benchmark
+ * covers request building, response streaming, parsing, and formatting. Run it with the GC
+ * profiler to see allocation rates:
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Dexec.args="-classpath %classpath org.openjdk.jmh.Main GeolocationServiceBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeolocationServiceBenchmark {
+
+    private static final String DIRECT_RESPONSE =
+            "[{\"name\":\"Madison\",\"local_names\":{\"en\":\"Madison\"},"
+                    + "\"lat\":43.074761,\"lon\":-89.3837613,\"country\":\"US\",\"state\":\"Wisconsin\"}]";
+    private static final String ZIP_RESPONSE =
+            "{\"zip\":\"10001\",\"name\":\"New York\",\"lat\":40.7484,\"lon\":-73.9967,\"country\":\"US\"}";
+
+    private GeolocationService service;
+    private StringBuilder sink;
+
+    @Setup
+    public void setUp() {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    Request request = chain.request();
+                    String body = request.url().encodedPath().endsWith("/zip") ? ZIP_RESPONSE : DIRECT_RESPONSE;
+                    return new Response.Builder()
+                            .request(request)
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("OK")
+                            .body(ResponseBody.create(body, MediaType.get("application/json")))
+                            .build();
+                })
+                .build();
+        service = new GeolocationService(client, new ObjectMapper());
+        sink = new StringBuilder(128);
+    }
+
+    @Benchmark
+    public String directLookup() {
+        return service.fetchLocationData("Madison, WI");
+    }
+
+    @Benchmark
+    public String zipLookup() {
+        return service.fetchLocationData("10001");
+    }
+
+    @Benchmark
+    public int directLookupIntoSink() {
+        sink.setLength(0);
+        service.fetchLocationData("Madison, WI", sink);
+        return sink.length();
+    }
+}
@@ -0,0 +1,256 @@
+package com.fetch.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fetch.config.ConfigReader;
+import com.fetch.exceptions.GeolocationException;
+import com.fetch.service.GeolocationService;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import picocli.CommandLine;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Load-test harness that replays a workload through {@link GeolocationService} against a
+ * {@link MockGeocodingServer}.
+ * <p>
+ * Requests are issued open-loop at a target rate, optionally with periodic bursts, and latency is
+ * measured from each request's scheduled start so that queueing delay is not hidden. Successful
+ * results are cached the same way {@link com.fetch.GeolocationCLI} caches them.
+ * <p>
+ * The service's own settings ({@code direct_limit}, {@code candidate_cache_size} and the
+ * {@code hedge_*} settings) are taken from the configuration as usual. With {@code --endpoints}
+ * greater than one, several mock servers are started and listed in {@code base_url}, so that
+ * hedged requests can be exercised.
+ */
+@CommandLine.Command(
+        name = "geoloc-loadtest",
+        mixinStandardHelpOptions = true,
+        description = "Replay a workload through GeolocationService against a local mock server"
+)
+public class LoadTest implements Callable<Integer> {
+
+    @CommandLine.Option(names = "--rate", description = "Target request rate per second (default: ${DEFAULT-VALUE})")
+    private double rate = 200;
+
+    @CommandLine.Option(names = "--duration", description = "Run length in seconds (default: ${DEFAULT-VALUE})")
+    private int durationSeconds = 10;
+
+    @CommandLine.Option(names = "--concurrency", description = "Worker threads issuing requests (default: ${DEFAULT-VALUE})")
+    private int concurrency = 32;
+
+    @CommandLine.Option(names = "--burst-factor", description = "Rate multiplier during bursts (default: ${DEFAULT-VALUE})")
+    private double burstFactor = 1;
+
+    @CommandLine.Option(names = "--burst-every", description = "Seconds between burst starts, 0 disables bursts (default: ${DEFAULT-VALUE})")
+    private int burstEverySeconds = 0;
+
+    @CommandLine.Option(names = "--burst-length", description = "Burst length in seconds (default: ${DEFAULT-VALUE})")
+    private int burstLengthSeconds = 1;
+
+    @CommandLine.Option(names = "--replay", description = "File with one recorded location per line; overrides the synthetic workload")
+    private Path replayFile;
+
+    @CommandLine.Option(names = "--keys", description = "Distinct synthetic locations (default: ${DEFAULT-VALUE})")
+    private int keys = 1000;
+
+    @CommandLine.Option(names = "--zipf", description = "Zipf exponent of synthetic key popularity (default: ${DEFAULT-VALUE})")
+    private double zipfExponent = 1.1;
+
+    @CommandLine.Option(names = "--zip-ratio", description = "Fraction of synthetic locations that are ZIP codes (default: ${DEFAULT-VALUE})")
+    private double zipRatio = 0.5;
+
+    @CommandLine.Option(names = "--qualified-ratio", description = "Fraction of synthetic city lookups qualified with a state (default: ${DEFAULT-VALUE})")
+    private double qualifiedRatio = 0.5;
+
+    @CommandLine.Option(names = "--direct-limit", description = "Overrides direct_limit, the number of candidates per city lookup")
+    private Integer directLimit;
+
+    @CommandLine.Option(names = "--endpoints", description = "Number of mock servers listed in base_url (default: ${DEFAULT-VALUE})")
+    private int endpoints = 1;
+
+    @CommandLine.Option(names = "--primary-latency-ms", description = "Base latency of the first mock server; defaults to --latency-ms")
+    private Long primaryLatencyMillis;
+
+    @CommandLine.Option(names = "--seed", description = "Random seed for the synthetic workload (default: ${DEFAULT-VALUE})")
+    private long seed = 42;
+
+    @CommandLine.Option(names = "--no-cache", description = "Send every request upstream")
+    private boolean noCache;
+
+    @CommandLine.Option(names = "--latency-ms", description = "Mock server base latency (default: ${DEFAULT-VALUE})")
+    private long latencyMillis = 20;
+
+    @CommandLine.Option(names = "--jitter-ms", description = "Mock server latency jitter (default: ${DEFAULT-VALUE})")
+    private long jitterMillis = 10;
+
+    @CommandLine.Option(names = "--error-rate", description = "Fraction of mock responses that are 500s (default: ${DEFAULT-VALUE})")
+    private double errorRate = 0;
+
+    @CommandLine.Option(names = "--throttle-rate", description = "Fraction of mock responses that are 429s (default: ${DEFAULT-VALUE})")
+    private double throttleRate = 0;
+
+    @Override
+    public Integer call() throws Exception {
+        Workload workload = replayFile != null
+                ? Workload.replay(replayFile)
+                : Workload.zipfian(keys, zipfExponent, zipRatio, qualifiedRatio, seed);
+        long[] schedule = schedule();
+        String[] inputs = new String[schedule.length];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = workload.next();
+        }
+
+        if (endpoints < 1) {
+            throw new CommandLine.ParameterException(new CommandLine(this), "At least one endpoint is required.");
+        }
+
+        List<MockGeocodingServer> servers = new ArrayList<>();
+        try {
+            for (int i = 0; i < endpoints; i++) {
+                long latency = (i == 0 && primaryLatencyMillis != null) ? primaryLatencyMillis : latencyMillis;
+                MockGeocodingServer server = new MockGeocodingServer(latency, jitterMillis, errorRate, throttleRate);
+                servers.add(server);
+                server.start();
+            }
+            pointConfigAt(servers);
+
+            OkHttpClient client = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(concurrency, 5, TimeUnit.MINUTES))
+                    .build();
+            GeolocationService service = new GeolocationService(client, new ObjectMapper());
+
+            Map<String, String> cache = new ConcurrentHashMap<>();
+            long[] latencies = new long[schedule.length];
+            AtomicLong cacheHits = new AtomicLong();
+            AtomicLong errors = new AtomicLong();
+
+            ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+            CountDownLatch done = new CountDownLatch(schedule.length);
+            long start = System.nanoTime();
+
+            for (int i = 0; i < schedule.length; i++) {
+                long scheduled = start + schedule[i];
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                int index = i;
+                workers.execute(() -> {
+                    try {
+                        String input = inputs[index];
+                        if (!noCache && cache.containsKey(input)) {
+                            cacheHits.incrementAndGet();
+                        } else {
+                            cache.put(input, service.fetchLocationData(input));
+                        }
+                    } catch (GeolocationException e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - scheduled;
+                        done.countDown();
+                    }
+                });
+            }
+
+            done.await();
+            long elapsed = System.nanoTime() - start;
+            workers.shutdown();
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+
+            report(latencies, elapsed, cacheHits.get(), errors.get(), servers);
+        } finally {
+            servers.forEach(MockGeocodingServer::close);
+        }
+        return 0;
+    }
+
+    /**
+     * Computes each request's start offset in nanoseconds, raising the rate inside burst windows.
+     */
+    private long[] schedule() {
+        if (rate <= 0 || durationSeconds <= 0) {
+            throw new CommandLine.ParameterException(new CommandLine(this), "Rate and duration must be positive.");
+        }
+
+        long end = TimeUnit.SECONDS.toNanos(durationSeconds);
+        long burstEvery = TimeUnit.SECONDS.toNanos(burstEverySeconds);
+        long burstLength = TimeUnit.SECONDS.toNanos(burstLengthSeconds);
+
+        long[] offsets = new long[1024];
+        int count = 0;
+        double offset = 0;
+        while (offset < end) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = (long) offset;
+            boolean inBurst = burstEvery > 0 && ((long) offset % burstEvery) < burstLength;
+            offset += 1e9 / (inBurst ? rate * burstFactor : rate);
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    /**
+     * Points {@link GeolocationService} at the mock servers, keeping every other configured setting.
+     */
+    private void pointConfigAt(List<MockGeocodingServer> servers) {
+        Properties properties = new Properties();
+        for (String key : List.of("zip_endpoint", "direct_endpoint", "direct_limit", "candidate_cache_size",
+                "hedge_percentile", "hedge_min_delay_ms", "hedge_max_ratio")) {
+            String value = ConfigReader.getProperty(key);
+            if (value != null) {
+                properties.setProperty(key, value);
+            }
+        }
+        if (directLimit != null) {
+            properties.setProperty("direct_limit", directLimit.toString());
+        }
+        properties.setProperty("base_url", servers.stream()
+                .map(MockGeocodingServer::baseUrl)
+                .collect(Collectors.joining(",")));
+        properties.setProperty("api_key", "loadtest");
+        ConfigReader.overrideProperties(properties);
+    }
+
+    private static void report(long[] latencies, long elapsedNanos, long cacheHits, long errors,
+                               List<MockGeocodingServer> servers) {
+        int total = latencies.length;
+        Arrays.sort(latencies);
+        double seconds = elapsedNanos / 1e9;
+
+        System.out.printf("Requests:       %d (%d errors)%n", total, errors);
+        System.out.printf("Throughput:     %.1f req/s%n", total / seconds);
+        System.out.printf("Latency p50:    %.3f ms%n", percentile(latencies, 0.50));
+        System.out.printf("Latency p99:    %.3f ms%n", percentile(latencies, 0.99));
+        System.out.printf("Latency p999:   %.3f ms%n", percentile(latencies, 0.999));
+        System.out.printf("Cache hit rate: %.2f%%%n", 100.0 * cacheHits / total);
+        System.out.printf("Upstream calls: %d%n", servers.stream().mapToLong(MockGeocodingServer::requestCount).sum());
+        if (servers.size() > 1) {
+            for (int i = 0; i < servers.size(); i++) {
+                System.out.printf("  endpoint %d:   %d%n", i + 1, servers.get(i).requestCount());
+            }
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    public static void main(String[] args) {
+        int exitCode = new CommandLine(new LoadTest()).execute(args);
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,199 @@
+package com.fetch.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An embedded stand-in for the OpenWeather Geocoding API.
+ * <p>
+ * Serves the {@code zip} and {@code direct} endpoints on a local ephemeral port with
+ * configurable response latency, server error rate, and {@code 429 Too Many Requests}
+ * injection. Every request that reaches the server is counted as an upstream call.
+ * <p>
+ * Every city name is ambiguous: the {@code direct} endpoint knows one candidate per state in
+ * {@link #STATE_CODES}, ranked in that order, and returns the first {@code limit} of them. A query
+ * qualified with a state (e.g., "City7, MO") returns only that state's candidate, as the real API does.
+ */
+public class MockGeocodingServer implements AutoCloseable {
+    private static final String BASE_PATH = "/geo/1.0/";
+
+    /** State codes of every city's candidates, in ranking order. */
+    static final String[] STATE_CODES = {"IL", "MO", "MA", "OH", "OR", "WI", "NY", "CA"};
+    private static final String[] STATE_NAMES =
+            {"Illinois", "Missouri", "Massachusetts", "Ohio", "Oregon", "Wisconsin", "New York", "California"};
+
+    static {
+        // The JDK server writes headers and body separately; without TCP_NODELAY, Nagle's algorithm and
+        // delayed ACKs add about 40 ms to every response. Must be set before the first server is created.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final double throttleRate;
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /**
+     * Creates a server bound to the loopback interface. Call {@link #start()} to begin serving.
+     *
+     * @param latencyMillis Base delay added to every response.
+     * @param jitterMillis  Upper bound of the uniformly distributed extra delay.
+     * @param errorRate     Fraction of requests answered with {@code 500 Internal Server Error}.
+     * @param throttleRate  Fraction of requests answered with {@code 429 Too Many Requests}.
+     * @throws IOException if the server socket cannot be bound.
+     */
+    public MockGeocodingServer(long latencyMillis, long jitterMillis, double errorRate, double throttleRate)
+            throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(executor);
+        this.server.createContext(BASE_PATH, this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return The value to use as {@code base_url} so that requests reach this server.
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    /**
+     * @return The number of requests received so far.
+     */
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            sleep();
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < throttleRate) {
+                respond(exchange, 429, "{\"cod\":429,\"message\":\"Too Many Requests\"}");
+                return;
+            }
+            if (roll < throttleRate + errorRate) {
+                respond(exchange, 500, "{\"cod\":500,\"message\":\"Internal Server Error\"}");
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getQuery();
+            if (path.endsWith("/zip")) {
+                String zip = stripCountry(queryParam(query, "zip"));
+                respond(exchange, 200, location(zip, "Zip " + zip, null));
+            } else if (path.endsWith("/direct")) {
+                respond(exchange, 200, candidates(stripCountry(queryParam(query, "q")), queryParam(query, "limit")));
+            } else {
+                respond(exchange, 404, "{\"cod\":404,\"message\":\"Not Found\"}");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sleep() {
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Builds the ranked candidate array for a direct query.
+     */
+    private static String candidates(String q, String limitParam) {
+        int comma = q.indexOf(',');
+        String name = comma >= 0 ? q.substring(0, comma).trim() : q;
+        String qualifier = comma >= 0 ? q.substring(comma + 1).trim() : "";
+
+        StringBuilder json = new StringBuilder("[");
+        if (!qualifier.isEmpty()) {
+            for (int i = 0; i < STATE_CODES.length; i++) {
+                if (STATE_CODES[i].equalsIgnoreCase(qualifier) || STATE_NAMES[i].equalsIgnoreCase(qualifier)) {
+                    json.append(location(null, name, STATE_NAMES[i]));
+                }
+            }
+        } else {
+            int limit = limitParam.isEmpty() ? 1 : Math.max(1, Math.min(Integer.parseInt(limitParam), STATE_NAMES.length));
+            for (int i = 0; i < limit; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(location(null, name, STATE_NAMES[i]));
+            }
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Builds a deterministic location object so repeated lookups for the same key agree.
+     */
+    private static String location(String zip, String name, String state) {
+        int hash = (zip != null ? zip : name + "," + state).hashCode();
+        BigDecimal lat = BigDecimal.valueOf(2500 + Math.floorMod(hash, 2400), 2);
+        BigDecimal lon = BigDecimal.valueOf(-12500 + Math.floorMod(hash >>> 12, 5800), 2);
+        return "{" + (zip != null ? "\"zip\":\"" + zip + "\"," : "") + "\"name\":\"" + name + "\",\"lat\":"
+                + lat.toPlainString() + ",\"lon\":" + lon.toPlainString() + ",\"country\":\"US\""
+                + (state != null ? ",\"state\":\"" + state + "\"" : "") + "}";
+    }
+
+    private static String queryParam(String query, String name) {
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith(name + "=")) {
+                    return pair.substring(name.length() + 1);
+                }
+            }
+        }
+        return "";
+    }
+
+    private static String stripCountry(String value) {
+        return value.endsWith(",US") ? value.substring(0, value.length() - 3) : value;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
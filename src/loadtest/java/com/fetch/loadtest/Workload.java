@@ -0,0 +1,102 @@
+package com.fetch.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * A source of location inputs for the load-test harness.
+ * <p>
+ * Either replays a recorded list of inputs in order (wrapping around at the end) or draws
+ * synthetic keys from a Zipfian distribution over a mixed set of ZIP codes and ambiguous city names.
+ * Instances are not thread-safe.
+ */
+public abstract class Workload {
+    /**
+     * Qualified city lookups pick among this many of the mock server's top-ranked states, the way
+     * users disambiguate between the few best-known places with a given name.
+     */
+    static final int QUALIFYING_STATES = 3;
+
+    /**
+     * @return The next location input.
+     */
+    public abstract String next();
+
+    /**
+     * Creates a workload that replays the non-blank lines of a file, one location per line.
+     *
+     * @param file The recorded workload.
+     * @return A workload cycling through the recorded inputs.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file contains no inputs.
+     */
+    public static Workload replay(Path file) throws IOException {
+        List<String> inputs = Files.readAllLines(file).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.toList());
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("Workload file " + file + " contains no locations.");
+        }
+
+        return new Workload() {
+            private int index;
+
+            @Override
+            public String next() {
+                String input = inputs.get(index);
+                index = (index + 1) % inputs.size();
+                return input;
+            }
+        };
+    }
+
+    /**
+     * Creates a synthetic workload whose key popularity follows a Zipfian distribution.
+     *
+     * @param keys     The number of distinct locations.
+     * @param exponent The Zipf exponent; larger values concentrate traffic on fewer keys.
+     * @param zipRatio       The fraction of distinct locations that are ZIP codes rather than city names.
+     * @param qualifiedRatio The fraction of city lookups qualified with a state (e.g., "City7, MO")
+     *                       rather than sent as the bare, ambiguous name.
+     * @param seed           Seed for both key generation and sampling, so runs are reproducible.
+     * @return A Zipfian workload.
+     */
+    public static Workload zipfian(int keys, double exponent, double zipRatio, double qualifiedRatio, long seed) {
+        if (keys < 1 || keys > 90000) {
+            throw new IllegalArgumentException("Number of keys must be between 1 and 90000.");
+        }
+
+        Random random = new Random(seed);
+        String[] inputs = new String[keys];
+        double[] cdf = new double[keys];
+        double total = 0;
+        for (int i = 0; i < keys; i++) {
+            inputs[i] = random.nextDouble() < zipRatio
+                    ? String.valueOf(10000 + i)
+                    : "City" + i;
+            total += 1 / Math.pow(i + 1, exponent);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < keys; i++) {
+            cdf[i] /= total;
+        }
+
+        return new Workload() {
+            @Override
+            public String next() {
+                int index = Arrays.binarySearch(cdf, random.nextDouble());
+                String input = inputs[Math.min(index >= 0 ? index : -index - 1, keys - 1)];
+                if (input.startsWith("City") && random.nextDouble() < qualifiedRatio) {
+                    return input + ", " + MockGeocodingServer.STATE_CODES[random.nextInt(QUALIFYING_STATES)];
+                }
+                return input;
+            }
+        };
+    }
+}
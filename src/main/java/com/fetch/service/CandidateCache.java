@@ -0,0 +1,108 @@
+package com.fetch.service;
+
+import java.util.*;
+
+/**
+ * Caches the ranked candidate lists returned by direct (city name) lookups.
+ * <p>
+ * Lists are stored under the normalized query. A query that is not cached itself may still be
+ * answered from the list of its unqualified base name: "Springfield, IL" is resolved from a
+ * cached "Springfield" list if one of its candidates is in Illinois. The least recently used
+ * lists are evicted once the cache reaches its capacity.
+ */
+class CandidateCache {
+    private static final Map<String, String> STATE_NAMES = stateNames();
+
+    private final Map<String, List<LocationCandidate>> lists;
+
+    /**
+     * @param capacity Maximum number of candidate lists to keep.
+     */
+    CandidateCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Candidate cache size must be at least 1.");
+        }
+        this.lists = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<LocationCandidate>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Stores the ranked candidates returned for a query.
+     *
+     * @param query      The location exactly as it was sent to the API.
+     * @param candidates The candidates in API ranking order.
+     */
+    synchronized void put(String query, List<LocationCandidate> candidates) {
+        lists.put(normalize(query), List.copyOf(candidates));
+    }
+
+    /**
+     * Answers a query from cached candidate lists.
+     *
+     * @param query A city name, optionally qualified with a state (e.g., "Springfield, IL").
+     * @return The best cached candidate, or {@code null} if the API must be asked.
+     */
+    synchronized LocationCandidate find(String query) {
+        String key = normalize(query);
+        List<LocationCandidate> candidates = lists.get(key);
+        if (candidates != null) {
+            return candidates.get(0);
+        }
+
+        int comma = key.indexOf(',');
+        if (comma < 0) {
+            return null;
+        }
+
+        candidates = lists.get(key.substring(0, comma).trim());
+        if (candidates == null) {
+            return null;
+        }
+
+        String qualifier = key.substring(comma + 1).trim();
+        int nextComma = qualifier.indexOf(',');
+        if (nextComma >= 0) {
+            qualifier = qualifier.substring(0, nextComma).trim();
+        }
+        String state = STATE_NAMES.getOrDefault(qualifier, qualifier);
+        for (LocationCandidate candidate : candidates) {
+            if (candidate.state != null && candidate.state.equalsIgnoreCase(state)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String query) {
+        return query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Maps lower-case US state and territory abbreviations to the names the API reports.
+     */
+    private static Map<String, String> stateNames() {
+        String[] pairs = {
+                "al", "Alabama", "ak", "Alaska", "az", "Arizona", "ar", "Arkansas", "ca", "California",
+                "co", "Colorado", "ct", "Connecticut", "de", "Delaware", "dc", "District of Columbia",
+                "fl", "Florida", "ga", "Georgia", "hi", "Hawaii", "id", "Idaho", "il", "Illinois",
+                "in", "Indiana", "ia", "Iowa", "ks", "Kansas", "ky", "Kentucky", "la", "Louisiana",
+                "me", "Maine", "md", "Maryland", "ma", "Massachusetts", "mi", "Michigan", "mn", "Minnesota",
+                "ms", "Mississippi", "mo", "Missouri", "mt", "Montana", "ne", "Nebraska", "nv", "Nevada",
+                "nh", "New Hampshire", "nj", "New Jersey", "nm", "New Mexico", "ny", "New York",
+                "nc", "North Carolina", "nd", "North Dakota", "oh", "Ohio", "ok", "Oklahoma", "or", "Oregon",
+                "pa", "Pennsylvania", "ri", "Rhode Island", "sc", "South Carolina", "sd", "South Dakota",
+                "tn", "Tennessee", "tx", "Texas", "ut", "Utah", "vt", "Vermont", "va", "Virginia",
+                "wa", "Washington", "wv", "West Virginia", "wi", "Wisconsin", "wy", "Wyoming",
+                "pr", "Puerto Rico", "gu", "Guam", "vi", "United States Virgin Islands"
+        };
+        Map<String, String> names = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            names.put(pairs[i], pairs[i + 1]);
+        }
+        return Collections.unmodifiableMap(names);
+    }
+}
@@ -1,35 +1,80 @@
 package com.fetch.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fetch.config.ConfigReader;
 import com.fetch.exceptions.GeolocationException;
 import okhttp3.*;
 import java.io.IOException;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 /**
  * Service for fetching geolocation data using the OpenWeather Geocoding API.
  * <p>
  * This service supports fetching location details (latitude, longitude, and name)
  * for a given city/state or ZIP code by making HTTP requests to the API.
+ * <p>
+ * Responses are streamed from the OkHttp body straight into a Jackson {@link JsonParser}
+ * without materializing the body as a {@code String} or a {@code JsonNode} tree. OkHttp
+ * negotiates and inflates gzip transparently as long as no {@code Accept-Encoding} header
+ * is set explicitly, and Jackson recycles its per-thread byte/char buffers through the
+ * shared {@link JsonFactory}.
+ * <p>
+ * {@code base_url} may list several comma-separated endpoints (mirrors or proxies). When it does,
+ * requests go to the first endpoint, and a hedged duplicate is sent to another endpoint if the
+ * first has not answered within the configured latency percentile. The first successful response
+ * wins and the other call is cancelled. See {@link HedgedExchange} for how the calls are run and
+ * {@link HedgePolicy} for how hedging is bounded.
+ * <p>
+ * When {@code direct_limit} is greater than one, city lookups request that many candidates in a
+ * single call and keep the ranked list in a {@link CandidateCache}, so later, more specific
+ * queries for the same name can be answered without another request.
  */
 public class GeolocationService {
+    private static final Pattern ZIP_PATTERN = Pattern.compile("\\d{5}");
+
+    /** Per-thread buffer used to format results without intermediate copies. */
+    private static final ThreadLocal<StringBuilder> OUTPUT_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private static final Pattern BASE_URL_SEPARATOR = Pattern.compile("\\s*,\\s*");
+
     private final OkHttpClient client;
     private final ObjectMapper objectMapper;
+    private final HedgePolicy hedgePolicy;
+    private final AtomicInteger nextHedgeTarget = new AtomicInteger();
+    private final int directLimit;
+    private final CandidateCache candidateCache;
 
     /**
      * Initializes a new instance of {@code GeolocationService} with an HTTP client
      * and JSON parser.
      */
     public GeolocationService() {
-        this.client = new OkHttpClient();
-        this.objectMapper = new ObjectMapper();
+        this(new OkHttpClient(), new ObjectMapper());
     }
 
     public GeolocationService(OkHttpClient client, ObjectMapper objectMapper) {
+        this(client, objectMapper, new HedgePolicy(
+                doubleProperty("hedge_percentile", 95),
+                intProperty("hedge_min_delay_ms", 50),
+                doubleProperty("hedge_max_ratio", 0.1)));
+    }
+
+    GeolocationService(OkHttpClient client, ObjectMapper objectMapper, HedgePolicy hedgePolicy) {
         this.client = client;
         this.objectMapper = objectMapper;
+        this.hedgePolicy = hedgePolicy;
+        this.directLimit = intProperty("direct_limit", 1);
+        if (directLimit < 1) {
+            throw new IllegalArgumentException("direct_limit must be at least 1.");
+        }
+        this.candidateCache = new CandidateCache(intProperty("candidate_cache_size", 1000));
     }
 
     /**
@@ -43,6 +88,23 @@ public class GeolocationService {
      * @throws GeolocationException if the request fails or the response cannot be processed.
      */
     public String fetchLocationData(String location) {
+        StringBuilder out = OUTPUT_BUFFER.get();
+        out.setLength(0);
+        fetchLocationData(location, out);
+        return out.toString();
+    }
+
+    /**
+     * Fetches geolocation data for a given location input and writes the formatted result
+     * directly into {@code out}.
+     * <p>
+     * Nothing is written to {@code out} unless the lookup succeeds.
+     *
+     * @param location A city/state name or ZIP code.
+     * @param out      The sink receiving the formatted location name, latitude, and longitude.
+     * @throws GeolocationException if the request fails or the response cannot be processed.
+     */
+    public void fetchLocationData(String location, Appendable out) {
         String baseUrl = ConfigReader.getProperty("base_url");
         String apiKey = ConfigReader.getProperty("api_key");
 
@@ -50,7 +112,48 @@ public class GeolocationService {
             throw new GeolocationException("BASE_URL or API_KEY is not configured properly.");
         }
 
-        String url = location.matches("\\d{5}")
+        boolean zip = ZIP_PATTERN.matcher(location).matches();
+        boolean multiCandidate = !zip && directLimit > 1;
+        if (multiCandidate) {
+            LocationCandidate cached = candidateCache.find(location);
+            if (cached != null) {
+                appendLocationInfo(location, cached, out);
+                return;
+            }
+        }
+
+        String[] baseUrls = BASE_URL_SEPARATOR.split(baseUrl.trim());
+        Request request = buildRequest(location, zip, baseUrls[0], apiKey);
+
+        try (Response response = baseUrls.length > 1
+                ? executeHedged(request, location, zip, baseUrls, apiKey)
+                : client.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new GeolocationException("Failed to fetch data for " + location + ": " + response.message());
+            }
+
+            ResponseBody body = response.body();
+            if (body == null) {
+                throw new GeolocationException("Empty response body for " + location);
+            }
+
+            List<LocationCandidate> candidates = parseResponse(body, location, multiCandidate ? directLimit : 1);
+            if (multiCandidate) {
+                candidateCache.put(location, candidates);
+            }
+            appendLocationInfo(location, candidates.get(0), out);
+        } catch (IOException e) {
+            throw new GeolocationException("Error fetching data for " + location, e);
+        }
+    }
+
+    /**
+     * Builds the API request for a location against one base URL.
+     *
+     * @throws GeolocationException if the endpoint template is missing.
+     */
+    private Request buildRequest(String location, boolean zip, String baseUrl, String apiKey) {
+        String url = zip
                 ? ConfigReader.getFormattedProperty("zip_endpoint",
                 "{base_url}", baseUrl,
                 "{zip}", location,
@@ -58,69 +161,149 @@ public class GeolocationService {
                 : ConfigReader.getFormattedProperty("direct_endpoint",
                 "{base_url}", baseUrl,
                 "{location}", location,
+                "{limit}", Integer.toString(directLimit),
                 "{api_key}", apiKey);
 
         if (url == null || url.isBlank()) {
             throw new GeolocationException("Invalid API endpoint configuration.");
         }
 
-        Request request = new Request.Builder().url(url).build();
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                throw new GeolocationException("Failed to fetch data for " + location + ": " + response.message());
-            }
+        return new Request.Builder().url(url).build();
+    }
 
-            if (response.body() == null) {
-                throw new GeolocationException("Empty response body for " + location);
-            }
+    /**
+     * Sends {@code primaryRequest} as a {@link HedgedExchange}, hedging to the next base URL in rotation.
+     *
+     * @throws IOException if every attempt failed without a response.
+     */
+    private Response executeHedged(Request primaryRequest, String location, boolean zip, String[] baseUrls,
+                                   String apiKey) throws IOException {
+        int target = 1 + Math.floorMod(nextHedgeTarget.getAndIncrement(), baseUrls.length - 1);
+        Request hedgeRequest = buildRequest(location, zip, baseUrls[target], apiKey);
+        return new HedgedExchange(client, primaryRequest, hedgeRequest, hedgePolicy).execute();
+    }
 
-            String responseBody = Objects.requireNonNull(response.body()).string();
-            return parseResponse(responseBody, location);
-        } catch (IOException e) {
-            throw new GeolocationException("Error fetching data for " + location, e);
-        }
+    private static double doubleProperty(String key, double defaultValue) {
+        String value = ConfigReader.getProperty(key);
+        return (value != null) ? Double.parseDouble(value) : defaultValue;
+    }
+
+    private static int intProperty(String key, int defaultValue) {
+        String value = ConfigReader.getProperty(key);
+        return (value != null) ? Integer.parseInt(value.trim()) : defaultValue;
     }
 
     /**
-     * Parses the JSON response from the API and extracts relevant location details.
+     * Streams the JSON response from the API and extracts the ranked location candidates.
+     * <p>
+     * At most {@code maxCandidates} results of an array response are read; the rest of the body is discarded.
      *
-     * @param response The JSON response body.
-     * @param location The user-input location.
-     * @return A formatted string with the location name, latitude, and longitude.
+     * @param body          The response body.
+     * @param location      The user-input location.
+     * @param maxCandidates The maximum number of results to extract.
+     * @return The extracted candidates in API ranking order, never empty.
      * @throws GeolocationException if parsing fails or no results are found.
      */
-    private String parseResponse(String response, String location) {
-        try {
-            if (response.isBlank()) {
+    private List<LocationCandidate> parseResponse(ResponseBody body, String location, int maxCandidates) {
+        List<LocationCandidate> candidates = new ArrayList<>(maxCandidates);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body.byteStream())) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
                 throw new GeolocationException("No response from API for " + location);
             }
 
-            JsonNode root = objectMapper.readTree(response);
-
-            if (root.isArray() && root.size() > 0) {
-                return extractLocationInfo(location, root.get(0));
-            } else if (root.isObject()) {
-                return extractLocationInfo(location, root);
+            if (token == JsonToken.START_OBJECT) {
+                candidates.add(extractLocationInfo(parser));
+            } else if (token == JsonToken.START_ARRAY) {
+                while (candidates.size() < maxCandidates
+                        && (token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.START_OBJECT) {
+                        candidates.add(extractLocationInfo(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
             }
+        } catch (GeolocationException e) {
+            throw e;
         } catch (Exception e) {
             throw new GeolocationException("Error parsing response for " + location, e);
         }
 
-        throw new GeolocationException("No results found for " + location);
+        if (candidates.isEmpty()) {
+            throw new GeolocationException("No results found for " + location);
+        }
+        return candidates;
+    }
+
+    /**
+     * Extracts the location name, state, latitude, and longitude from the JSON object the parser is positioned on.
+     *
+     * @param parser The parser, positioned on the object's {@code START_OBJECT} token.
+     * @return The extracted candidate.
+     */
+    private LocationCandidate extractLocationInfo(JsonParser parser) throws IOException {
+        String name = "Unknown";
+        String state = null;
+        String lat = "Unknown";
+        String lon = "Unknown";
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "name":
+                    name = valueAsText(parser, value);
+                    break;
+                case "state":
+                    state = valueAsText(parser, value);
+                    break;
+                case "lat":
+                    lat = valueAsText(parser, value);
+                    break;
+                case "lon":
+                    lon = valueAsText(parser, value);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        return new LocationCandidate(name, state, lat, lon);
     }
 
     /**
-     * Extracts the location name, latitude, and longitude from a JSON node.
+     * Writes the formatted location name, latitude, and longitude of a candidate.
      *
-     * @param location The original user input.
-     * @param node     The JSON node containing location details.
-     * @return A formatted string with extracted geolocation data.
+     * @param location  The original user input.
+     * @param candidate The candidate to report.
+     * @param out       The sink receiving the formatted result.
+     * @throws GeolocationException if the sink cannot be written.
      */
-    private String extractLocationInfo(String location, JsonNode node) {
-        return String.format("Input: %s → Location: %s, Lat: %s, Lon: %s",
-                location,
-                node.has("name") ? node.get("name").asText() : "Unknown",
-                node.has("lat") ? node.get("lat").asText() : "Unknown",
-                node.has("lon") ? node.get("lon").asText() : "Unknown");
+    private static void appendLocationInfo(String location, LocationCandidate candidate, Appendable out) {
+        try {
+            out.append("Input: ").append(location)
+                    .append(" → Location: ").append(candidate.name)
+                    .append(", Lat: ").append(candidate.lat)
+                    .append(", Lon: ").append(candidate.lon);
+        } catch (IOException e) {
+            throw new GeolocationException("Error writing result for " + location, e);
+        }
+    }
+
+    /**
+     * Renders the current value the same way {@code JsonNode#asText()} would.
+     */
+    private static String valueAsText(JsonParser parser, JsonToken value) throws IOException {
+        switch (value) {
+            case VALUE_NUMBER_FLOAT:
+                return Double.toString(parser.getDoubleValue());
+            case START_OBJECT:
+            case START_ARRAY:
+                parser.skipChildren();
+                return "";
+            default:
+                return parser.getText();
+        }
     }
 }
@@ -0,0 +1,94 @@
+package com.fetch.service;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when and how often {@link GeolocationService} may send a hedged duplicate request.
+ * <p>
+ * The hedge delay tracks a configurable percentile of recently observed upstream latencies,
+ * never dropping below a configured floor. Hedges are paid for from a token bucket that earns
+ * a fixed fraction of a hedge per request and holds at most {@value #MAX_HEDGE_CREDIT} hedges.
+ * A long quiet period therefore cannot bank enough credit to hedge every request later, for
+ * example during an upstream brownout.
+ */
+class HedgePolicy {
+    private static final int WINDOW = 1024;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final double MAX_HEDGE_CREDIT = 10;
+    /** Absorbs rounding when fractional credits add up to a whole hedge. */
+    private static final double CREDIT_EPSILON = 1e-9;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double maxHedgeRatio;
+
+    private final long[] samples = new long[WINDOW];
+    private int sampleCount;
+    private int nextSample;
+    private long delayNanos;
+
+    private double hedgeCredit;
+
+    /**
+     * @param percentile     Latency percentile (0-100) after which a request is hedged.
+     * @param minDelayMillis Lower bound for the hedge delay, also used until enough latencies are observed.
+     * @param maxHedgeRatio  Long-run maximum fraction of requests that may be hedged.
+     */
+    HedgePolicy(double percentile, long minDelayMillis, double maxHedgeRatio) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Hedge percentile must be in (0, 100].");
+        }
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.maxHedgeRatio = maxHedgeRatio;
+        this.delayNanos = minDelayNanos;
+    }
+
+    /**
+     * @return How long to wait for the primary request before hedging, in nanoseconds.
+     */
+    synchronized long delayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Records the latency of a completed upstream request.
+     *
+     * @param nanos Time from sending the request to receiving the response headers.
+     */
+    synchronized void recordLatency(long nanos) {
+        samples[nextSample] = nanos;
+        nextSample = (nextSample + 1) % WINDOW;
+        sampleCount = Math.min(sampleCount + 1, WINDOW);
+
+        // First estimate as soon as the window holds enough samples, then refreshed periodically
+        if (sampleCount == MIN_SAMPLES || (sampleCount > MIN_SAMPLES && nextSample % RECOMPUTE_EVERY == 0)) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            delayNanos = Math.max(minDelayNanos, sorted[Math.max(0, index)]);
+        }
+    }
+
+    /**
+     * Counts a new request, earning its share of hedge credit up to the cap.
+     */
+    synchronized void recordRequest() {
+        hedgeCredit = Math.min(MAX_HEDGE_CREDIT, hedgeCredit + maxHedgeRatio);
+    }
+
+    /**
+     * Claims a hedge if a whole hedge of credit is available.
+     *
+     * @return {@code true} if the caller may send a hedged request.
+     */
+    synchronized boolean tryAcquireHedge() {
+        if (hedgeCredit < 1 - CREDIT_EPSILON) {
+            return false;
+        }
+        hedgeCredit = Math.max(0, hedgeCredit - 1);
+        return true;
+    }
+}
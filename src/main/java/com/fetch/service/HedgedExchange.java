@@ -0,0 +1,195 @@
+package com.fetch.service;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+
+/**
+ * A single hedged lookup.
+ * <p>
+ * The primary call runs synchronously on the caller's thread. If it is still outstanding after the
+ * {@link HedgePolicy} delay and the hedge budget allows, a duplicate call is started on a background
+ * thread. Both calls use {@link Call#execute()} so that neither waits in OkHttp's dispatcher queue,
+ * which would otherwise count local queueing as upstream latency. The first successful response wins
+ * and the other call is cancelled.
+ * <p>
+ * Every primary call contributes its latency to the policy, including failures. A primary
+ * cancelled by a winning hedge contributes its elapsed time at cancellation, so the slow tail
+ * that triggered the hedge is not dropped from the percentile window.
+ */
+final class HedgedExchange {
+    private static final ScheduledExecutorService TIMER =
+            Executors.newSingleThreadScheduledExecutor(daemonThreads("hedge-timer"));
+    private static final ExecutorService HEDGES = Executors.newCachedThreadPool(daemonThreads("hedge"));
+
+    private final OkHttpClient client;
+    private final Call primary;
+    private final Request hedgeRequest;
+    private final HedgePolicy policy;
+    private long primaryStart;
+
+    // Guarded by this
+    private boolean primaryDone;
+    private boolean settled;
+    private boolean hedgeWon;
+    private boolean hedgeDone;
+    private Call hedge;
+    private Response hedgeResponse;
+    private IOException hedgeError;
+
+    HedgedExchange(OkHttpClient client, Request primaryRequest, Request hedgeRequest, HedgePolicy policy) {
+        this.client = client;
+        this.primary = client.newCall(primaryRequest);
+        this.hedgeRequest = hedgeRequest;
+        this.policy = policy;
+    }
+
+    /**
+     * Runs the hedged lookup.
+     *
+     * @return The first successful response or, if every call failed, an unsuccessful one for the caller to report.
+     * @throws IOException if every call failed without a response.
+     */
+    Response execute() throws IOException {
+        policy.recordRequest();
+        primaryStart = System.nanoTime();
+        ScheduledFuture<?> timer = TIMER.schedule(this::startHedge, policy.delayNanos(), TimeUnit.NANOSECONDS);
+
+        Response response = null;
+        IOException error = null;
+        try {
+            response = primary.execute();
+        } catch (IOException e) {
+            error = e;
+        }
+        timer.cancel(false);
+        long elapsed = System.nanoTime() - primaryStart;
+
+        Call loser = null;
+        try {
+            synchronized (this) {
+                primaryDone = true;
+                if (hedgeWon) {
+                    // The hedge answered first and cancelled the primary
+                    close(response);
+                    return hedgeResponse;
+                }
+
+                policy.recordLatency(elapsed);
+
+                if ((response != null && response.isSuccessful()) || hedge == null) {
+                    settled = true;
+                    loser = hedge;
+                    if (hedgeDone) {
+                        close(hedgeResponse);
+                    }
+                    return respondOrThrow(response, error);
+                }
+
+                // The primary failed while the hedge is still running; its outcome decides
+                while (!hedgeDone) {
+                    wait();
+                }
+                settled = true;
+                if (hedgeWon) {
+                    close(response);
+                    return hedgeResponse;
+                }
+                if (response == null && hedgeResponse != null) {
+                    return hedgeResponse;
+                }
+                close(hedgeResponse);
+                return respondOrThrow(response, error != null ? error : hedgeError);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            synchronized (this) {
+                settled = true;
+                loser = hedge;
+            }
+            close(response);
+            throw new IOException("Interrupted while waiting for a hedged request", e);
+        } finally {
+            if (loser != null) {
+                loser.cancel();
+            }
+        }
+    }
+
+    /**
+     * Starts the hedged call if the primary is still outstanding and the budget allows it.
+     */
+    private void startHedge() {
+        Call call;
+        synchronized (this) {
+            if (primaryDone || settled || !policy.tryAcquireHedge()) {
+                return;
+            }
+            call = client.newCall(hedgeRequest);
+            hedge = call;
+        }
+        HEDGES.execute(() -> runHedge(call));
+    }
+
+    private void runHedge(Call call) {
+        Response response = null;
+        IOException error = null;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            error = e;
+        }
+
+        Response discard = null;
+        boolean cancelPrimary = false;
+        synchronized (this) {
+            hedgeDone = true;
+            if (settled) {
+                discard = response;
+            } else if (response != null && response.isSuccessful()) {
+                hedgeWon = true;
+                settled = true;
+                hedgeResponse = response;
+                cancelPrimary = !primaryDone;
+                if (cancelPrimary) {
+                    // The primary's latency is at least its elapsed time; leaving it out would bias the window low
+                    policy.recordLatency(System.nanoTime() - primaryStart);
+                }
+            } else {
+                hedgeResponse = response;
+                hedgeError = error;
+            }
+            notifyAll();
+        }
+
+        close(discard);
+        if (cancelPrimary) {
+            primary.cancel();
+        }
+    }
+
+    private static Response respondOrThrow(Response response, IOException error) throws IOException {
+        if (response != null) {
+            return response;
+        }
+        throw error;
+    }
+
+    private static void close(Response response) {
+        if (response != null) {
+            response.close();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.fetch.service;
+
+/**
+ * One geocoding result as returned by the API, with values already rendered as text.
+ */
+final class LocationCandidate {
+    final String name;
+    final String state;
+    final String lat;
+    final String lon;
+
+    LocationCandidate(String name, String state, String lat, String lon) {
+        this.name = name;
+        this.state = state;
+        this.lat = lat;
+        this.lon = lon;
+    }
+}
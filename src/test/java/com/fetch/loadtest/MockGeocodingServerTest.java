@@ -0,0 +1,90 @@
+package com.fetch.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockGeocodingServerTest {
+
+    private final OkHttpClient client = new OkHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should answer every request with 429 when the throttle rate is 1")
+    void testHandle_ThrottleInjection() throws IOException {
+        try (MockGeocodingServer server = new MockGeocodingServer(0, 0, 0, 1)) {
+            server.start();
+            for (int i = 0; i < 5; i++) {
+                assertEquals(429, status(server, "zip?zip=10001,US&appid=key"));
+            }
+            assertEquals(5, server.requestCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer every request with 500 when the error rate is 1")
+    void testHandle_ErrorInjection() throws IOException {
+        try (MockGeocodingServer server = new MockGeocodingServer(0, 0, 1, 0)) {
+            server.start();
+            for (int i = 0; i < 3; i++) {
+                assertEquals(500, status(server, "direct?q=City1,US&limit=1&appid=key"));
+            }
+            assertEquals(3, server.requestCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count every request and serve ZIP lookups")
+    void testHandle_ZipLookup() throws IOException {
+        try (MockGeocodingServer server = new MockGeocodingServer(0, 0, 0, 0)) {
+            server.start();
+            assertEquals(0, server.requestCount());
+
+            JsonNode first = get(server, "zip?zip=10001,US&appid=key");
+            JsonNode second = get(server, "zip?zip=10001,US&appid=key");
+
+            assertEquals("10001", first.get("zip").asText());
+            assertEquals(first, second, "Repeated lookups should agree");
+            assertEquals(2, server.requestCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return limit ranked candidates, or only the qualified state's")
+    void testHandle_DirectCandidates() throws IOException {
+        try (MockGeocodingServer server = new MockGeocodingServer(0, 0, 0, 0)) {
+            server.start();
+
+            JsonNode ranked = get(server, "direct?q=City1,US&limit=3&appid=key");
+            assertEquals(3, ranked.size());
+            assertEquals("Illinois", ranked.get(0).get("state").asText());
+            assertEquals("Missouri", ranked.get(1).get("state").asText());
+
+            JsonNode qualified = get(server, "direct?q=City1, MO,US&limit=3&appid=key");
+            assertEquals(1, qualified.size());
+            assertEquals("Missouri", qualified.get(0).get("state").asText());
+            assertEquals(ranked.get(1), qualified.get(0));
+        }
+    }
+
+    private int status(MockGeocodingServer server, String path) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(server.baseUrl() + path).build()).execute()) {
+            return response.code();
+        }
+    }
+
+    private JsonNode get(MockGeocodingServer server, String path) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(server.baseUrl() + path).build()).execute()) {
+            assertEquals(200, response.code());
+            return objectMapper.readTree(response.body().string());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.fetch.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should concentrate Zipfian traffic on the most popular keys")
+    void testZipfian_Skew() {
+        Workload workload = Workload.zipfian(1000, 1.2, 0, 0, 42);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            counts.merge(workload.next(), 1, Integer::sum);
+        }
+
+        int top = counts.getOrDefault("City0", 0);
+        int tenth = counts.getOrDefault("City9", 0);
+        // With exponent 1.2 the top key takes roughly a fifth of all traffic, and ten times the tenth key's share
+        assertTrue(top > 20_000 * 0.15, "Top key drew only " + top + " lookups");
+        assertTrue(top > 5 * tenth, "Top key " + top + " vs tenth key " + tenth);
+        assertEquals(top, Collections.max(counts.values()));
+    }
+
+    @Test
+    @DisplayName("Should produce the same sequence for the same seed")
+    void testZipfian_SeedDeterminism() {
+        assertEquals(sample(Workload.zipfian(500, 1.1, 0.5, 0.5, 7), 1000),
+                sample(Workload.zipfian(500, 1.1, 0.5, 0.5, 7), 1000));
+        assertNotEquals(sample(Workload.zipfian(500, 1.1, 0.5, 0.5, 7), 1000),
+                sample(Workload.zipfian(500, 1.1, 0.5, 0.5, 8), 1000));
+    }
+
+    @Test
+    @DisplayName("Should qualify city lookups with one of the top-ranked states")
+    void testZipfian_QualifiedLookups() {
+        Set<String> allowed = new HashSet<>(Arrays.asList(MockGeocodingServer.STATE_CODES)
+                .subList(0, Workload.QUALIFYING_STATES));
+
+        for (String input : sample(Workload.zipfian(100, 1.1, 0, 1, 3), 500)) {
+            String[] parts = input.split(", ");
+            assertEquals(2, parts.length, input);
+            assertTrue(allowed.contains(parts[1]), input);
+        }
+        for (String input : sample(Workload.zipfian(100, 1.1, 0, 0, 3), 500)) {
+            assertFalse(input.contains(","), input);
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay recorded inputs in order and wrap around")
+    void testReplay_WrapsAround() throws IOException {
+        Path file = Files.write(tempDir.resolve("workload.txt"), List.of("Madison, WI", "", "  10001  ", "Chicago, IL"));
+
+        Workload workload = Workload.replay(file);
+
+        assertEquals(List.of("Madison, WI", "10001", "Chicago, IL", "Madison, WI", "10001"), sample(workload, 5));
+    }
+
+    @Test
+    @DisplayName("Should reject a replay file without inputs")
+    void testReplay_EmptyFile() throws IOException {
+        Path file = Files.write(tempDir.resolve("empty.txt"), List.of("", "   "));
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> Workload.replay(file));
+        assertTrue(thrown.getMessage().contains("contains no locations"));
+    }
+
+    private static List<String> sample(Workload workload, int count) {
+        List<String> inputs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            inputs.add(workload.next());
+        }
+        return inputs;
+    }
+}
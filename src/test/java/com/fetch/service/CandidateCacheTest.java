@@ -0,0 +1,63 @@
+package com.fetch.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateCacheTest {
+
+    private static final LocationCandidate ILLINOIS =
+            new LocationCandidate("Springfield", "Illinois", "39.7990175", "-89.6439575");
+    private static final LocationCandidate MISSOURI =
+            new LocationCandidate("Springfield", "Missouri", "37.209", "-93.2923");
+
+    private CandidateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CandidateCache(2);
+        cache.put("Springfield", List.of(ILLINOIS, MISSOURI));
+    }
+
+    @Test
+    @DisplayName("Should return the top-ranked candidate for a cached query")
+    void testFind_ExactQuery() {
+        assertSame(ILLINOIS, cache.find(" springfield "));
+    }
+
+    @Test
+    @DisplayName("Should answer a state-qualified query from the base query's candidates")
+    void testFind_QualifiedQuery() {
+        assertSame(MISSOURI, cache.find("Springfield, MO"));
+        assertSame(MISSOURI, cache.find("Springfield, Missouri"));
+    }
+
+    @Test
+    @DisplayName("Should return null when no cached candidate matches the qualifier")
+    void testFind_UnmatchedQualifier() {
+        assertNull(cache.find("Springfield, MA"));
+        assertNull(cache.find("Shelbyville, IL"));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used list when full")
+    void testPut_EvictsLeastRecentlyUsed() {
+        cache.put("Portland", List.of(new LocationCandidate("Portland", "Oregon", "45.5", "-122.6")));
+        cache.find("Springfield");
+        cache.put("Columbus", List.of(new LocationCandidate("Columbus", "Ohio", "39.9", "-82.9")));
+
+        assertNotNull(cache.find("Springfield"));
+        assertNull(cache.find("Portland"));
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive capacities")
+    void testConstructor_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CandidateCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new CandidateCache(-5));
+    }
+}
@@ -1,6 +1,7 @@
 package com.fetch.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fetch.config.ConfigReader;
 import com.fetch.exceptions.GeolocationException;
 import okhttp3.*;
 import org.junit.jupiter.api.*;
@@ -9,9 +10,14 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 class GeolocationServiceTest {
@@ -36,6 +42,15 @@ class GeolocationServiceTest {
         when(mockClient.newCall(any())).thenReturn(mockCall);
     }
 
+    @AfterEach
+    void restoreConfig() throws IOException {
+        Properties original = new Properties();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("config.properties")) {
+            original.load(in);
+        }
+        ConfigReader.overrideProperties(original);
+    }
+
     @Test
     @DisplayName("Should handle successful response correctly")
     void testFetchLocationData_Success() throws IOException {
@@ -64,6 +79,194 @@ class GeolocationServiceTest {
         assertEquals("Failed to fetch data for New York, NY: Error", thrown.getMessage());
     }
 
+    @Test
+    @DisplayName("Should read only the first result and write it into the given sink")
+    void testFetchLocationData_WritesToSink() throws IOException {
+        String jsonResponse = "[{\"name\":\"Springfield\",\"local_names\":{\"en\":\"Springfield\"},"
+                + "\"lat\":39.7990175,\"lon\":-89.6439575,\"state\":\"Illinois\"},"
+                + "{\"name\":\"Springfield\",\"lat\":37.2090,\"lon\":-93.2923}]";
+
+        when(mockCall.execute()).thenReturn(createMockResponse(200, jsonResponse));
+
+        StringBuilder out = new StringBuilder("> ");
+        geolocationService.fetchLocationData("Springfield", out);
+        assertEquals("> Input: Springfield → Location: Springfield, Lat: 39.7990175, Lon: -89.6439575", out.toString());
+    }
+
+    @Test
+    @DisplayName("Should handle object responses from the ZIP endpoint")
+    void testFetchLocationData_ZipObjectResponse() throws IOException {
+        String jsonResponse = "{\"zip\":\"10001\",\"name\":\"New York\",\"lat\":40.7484,\"lon\":-73.9967,\"country\":\"US\"}";
+
+        when(mockCall.execute()).thenReturn(createMockResponse(200, jsonResponse));
+
+        String result = geolocationService.fetchLocationData("10001");
+        assertEquals("Input: 10001 → Location: New York, Lat: 40.7484, Lon: -73.9967", result);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when no results are returned")
+    void testFetchLocationData_NoResults() throws IOException {
+        when(mockCall.execute()).thenReturn(createMockResponse(200, "[]"));
+
+        StringBuilder out = new StringBuilder();
+        GeolocationException thrown = assertThrows(GeolocationException.class, () ->
+                geolocationService.fetchLocationData("UnknownPlace", out)
+        );
+
+        assertEquals("No results found for UnknownPlace", thrown.getMessage());
+        assertEquals(0, out.length());
+    }
+
+    @Test
+    @DisplayName("Should hedge to a second endpoint and cancel the slow one")
+    void testFetchLocationData_HedgesSlowPrimary() throws IOException {
+        useHedgingConfig(10);
+        Call primaryCall = stalledCall();
+        Call hedgeCall = mock(Call.class);
+        when(hedgeCall.execute()).thenReturn(
+                createMockResponse(200, "{\"name\":\"New York\",\"lat\":40.7484,\"lon\":-73.9967}"));
+        when(mockClient.newCall(any())).thenAnswer(invocation ->
+                ((Request) invocation.getArgument(0)).url().host().equals("primary.mock") ? primaryCall : hedgeCall);
+
+        geolocationService = new GeolocationService(mockClient, new ObjectMapper());
+        String result = geolocationService.fetchLocationData("10001");
+
+        assertEquals("Input: 10001 → Location: New York, Lat: 40.7484, Lon: -73.9967", result);
+        verify(primaryCall).cancel();
+        verify(hedgeCall, never()).cancel();
+        // Neither call may wait in OkHttp's dispatcher queue
+        verify(primaryCall, never()).enqueue(any());
+        verify(hedgeCall, never()).enqueue(any());
+    }
+
+    @Test
+    @DisplayName("Should not hedge when the primary endpoint answers in time")
+    void testFetchLocationData_NoHedgeForFastPrimary() throws IOException {
+        useHedgingConfig(60_000);
+        when(mockCall.execute()).thenReturn(
+                createMockResponse(200, "[{\"name\":\"Madison\",\"lat\":43.074761,\"lon\":-89.3837613}]"));
+
+        geolocationService = new GeolocationService(mockClient, new ObjectMapper());
+        String result = geolocationService.fetchLocationData("Madison, WI");
+
+        assertEquals("Input: Madison, WI → Location: Madison, Lat: 43.074761, Lon: -89.3837613", result);
+        verify(mockClient, times(1)).newCall(any());
+        verify(mockCall, never()).cancel();
+    }
+
+    @Test
+    @DisplayName("Should keep the hedge threshold up while the primary is persistently slow")
+    void testFetchLocationData_HedgeThresholdDoesNotCollapse() throws IOException {
+        useHedgingConfig(10);
+        HedgePolicy policy = new HedgePolicy(50, 1, 1);
+        for (int i = 0; i < 64; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(30));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30), policy.delayNanos());
+
+        // Every other primary is stuck and must be hedged; the rest answer immediately
+        String json = "{\"name\":\"New York\",\"lat\":40.7484,\"lon\":-73.9967}";
+        int[] primaries = {0};
+        when(mockClient.newCall(any())).thenAnswer(invocation -> {
+            Call call;
+            if (((Request) invocation.getArgument(0)).url().host().equals("primary.mock")
+                    && primaries[0]++ % 2 == 0) {
+                call = stalledCall();
+            } else {
+                call = mock(Call.class);
+                when(call.execute()).thenReturn(createMockResponse(200, json));
+            }
+            return call;
+        });
+
+        geolocationService = new GeolocationService(mockClient, new ObjectMapper(), policy);
+        for (int i = 0; i < 128; i++) {
+            geolocationService.fetchLocationData("10001");
+        }
+
+        // Without the stuck primaries' elapsed time, the window would hold only the fast answers
+        assertTrue(policy.delayNanos() >= TimeUnit.MILLISECONDS.toNanos(30),
+                "Hedge delay collapsed to " + policy.delayNanos() + "ns");
+    }
+
+    @Test
+    @DisplayName("Should answer a more specific query from cached candidates")
+    void testFetchLocationData_ReusesCachedCandidates() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("base_url", "http://mock.api/");
+        properties.setProperty("api_key", "mock-api-key");
+        properties.setProperty("direct_endpoint", "{base_url}direct?q={location},US&limit={limit}&appid={api_key}");
+        properties.setProperty("direct_limit", "5");
+        ConfigReader.overrideProperties(properties);
+
+        String jsonResponse = "[{\"name\":\"Springfield\",\"lat\":39.7990175,\"lon\":-89.6439575,\"state\":\"Illinois\"},"
+                + "{\"name\":\"Springfield\",\"lat\":37.2090,\"lon\":-93.2923,\"state\":\"Missouri\"}]";
+        when(mockCall.execute()).thenReturn(createMockResponse(200, jsonResponse));
+
+        geolocationService = new GeolocationService(mockClient, new ObjectMapper());
+        assertEquals("Input: Springfield → Location: Springfield, Lat: 39.7990175, Lon: -89.6439575",
+                geolocationService.fetchLocationData("Springfield"));
+        assertEquals("Input: Springfield, MO → Location: Springfield, Lat: 37.209, Lon: -93.2923",
+                geolocationService.fetchLocationData("Springfield, MO"));
+
+        verify(mockClient, times(1)).newCall(argThat(request -> request.url().queryParameter("limit").equals("5")));
+        verify(mockClient, times(1)).newCall(any());
+    }
+
+    @Test
+    @DisplayName("Should reject fractional integer settings instead of truncating them")
+    void testConstructor_RejectsFractionalDirectLimit() {
+        Properties properties = new Properties();
+        properties.setProperty("direct_limit", "5.7");
+        ConfigReader.overrideProperties(properties);
+
+        assertThrows(NumberFormatException.class, () -> new GeolocationService(mockClient, new ObjectMapper()));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive direct_limit")
+    void testConstructor_RejectsNonPositiveDirectLimit() {
+        Properties properties = new Properties();
+        properties.setProperty("direct_limit", "0");
+        ConfigReader.overrideProperties(properties);
+
+        assertThrows(IllegalArgumentException.class, () -> new GeolocationService(mockClient, new ObjectMapper()));
+    }
+
+    /**
+     * Creates a call whose {@code execute()} blocks until the call is cancelled, like a stuck upstream.
+     */
+    private Call stalledCall() throws IOException {
+        Call call = mock(Call.class);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(call).cancel();
+        when(call.execute()).thenAnswer(invocation -> {
+            cancelled.await(5, TimeUnit.SECONDS);
+            throw new IOException("Canceled");
+        });
+        return call;
+    }
+
+    /**
+     * Points the service at two endpoints with an unlimited hedge budget.
+     *
+     * @param minDelayMillis Hedge delay floor; a long delay keeps the hedge timer from ever firing.
+     */
+    private void useHedgingConfig(int minDelayMillis) {
+        Properties properties = new Properties();
+        properties.setProperty("base_url", "http://primary.mock/, http://mirror.mock/");
+        properties.setProperty("api_key", "mock-api-key");
+        properties.setProperty("zip_endpoint", "{base_url}zip?zip={zip},US&appid={api_key}");
+        properties.setProperty("direct_endpoint", "{base_url}direct?q={location},US&limit={limit}&appid={api_key}");
+        properties.setProperty("hedge_min_delay_ms", String.valueOf(minDelayMillis));
+        properties.setProperty("hedge_max_ratio", "1");
+        ConfigReader.overrideProperties(properties);
+    }
+
     private Response createMockResponse(int statusCode, String body) {
         return new Response.Builder()
                 .request(new Request.Builder().url("http://mock.api").build())
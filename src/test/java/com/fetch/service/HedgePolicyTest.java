@@ -0,0 +1,85 @@
+package com.fetch.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgePolicyTest {
+
+    @Test
+    @DisplayName("Should use the minimum delay until enough latencies are observed")
+    void testDelayNanos_DefaultsToMinimum() {
+        HedgePolicy policy = new HedgePolicy(95, 50, 0.1);
+        for (int i = 0; i < 31; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(50), policy.delayNanos());
+    }
+
+    @Test
+    @DisplayName("Should compute the first percentile as soon as the minimum sample count is reached")
+    void testDelayNanos_FirstEstimateAtMinimumSamples() {
+        HedgePolicy policy = new HedgePolicy(95, 50, 0.1);
+        for (int i = 0; i < 32; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), policy.delayNanos());
+    }
+
+    @Test
+    @DisplayName("Should track the configured latency percentile")
+    void testDelayNanos_TracksPercentile() {
+        HedgePolicy policy = new HedgePolicy(90, 1, 0.1);
+        for (int i = 1; i <= 128; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(i <= 116 ? 10 : 200));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), policy.delayNanos());
+    }
+
+    @Test
+    @DisplayName("Should cap hedges at the configured fraction of requests")
+    void testTryAcquireHedge_RespectsRatio() {
+        HedgePolicy policy = new HedgePolicy(95, 50, 0.1);
+        int granted = 0;
+        for (int i = 0; i < 100; i++) {
+            policy.recordRequest();
+            if (policy.tryAcquireHedge()) {
+                granted++;
+            }
+        }
+
+        assertEquals(10, granted);
+    }
+
+    @Test
+    @DisplayName("Should not bank unused hedge budget beyond the cap")
+    void testTryAcquireHedge_CapsAccumulatedCredit() {
+        HedgePolicy policy = new HedgePolicy(95, 50, 0.1);
+        for (int i = 0; i < 10_000; i++) {
+            policy.recordRequest();
+        }
+
+        int granted = 0;
+        for (int i = 0; i < 1_000; i++) {
+            policy.recordRequest();
+            if (policy.tryAcquireHedge()) {
+                granted++;
+            }
+        }
+
+        // At most the capped burst plus the ratio's share of the next 1,000 requests
+        assertTrue(granted <= 10 + 100, "Granted " + granted + " hedges");
+    }
+
+    @Test
+    @DisplayName("Should reject percentiles outside (0, 100]")
+    void testConstructor_InvalidPercentile() {
+        assertThrows(IllegalArgumentException.class, () -> new HedgePolicy(0, 50, 0.1));
+    }
+}